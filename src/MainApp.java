@@ -10,6 +10,7 @@ import javafx.concurrent.Task;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
+import javafx.scene.image.Image;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
@@ -20,6 +21,7 @@ import javafx.stage.Stage;
 import javafx.util.Duration;
 
 import java.io.File;
+import java.lang.management.ManagementFactory;
 import java.nio.file.Files;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -29,6 +31,7 @@ import java.util.List;
 public class MainApp extends Application {
     private static final double MESSAGE_TRANSITION_MS = 1000, MESSAGE_DISPLAY_TIME_MS = 4000;
     private static final int WINDOW_MIN_WIDTH = 850, WINDOW_MIN_HEIGHT = 550;
+    private static final String STARTUP_REPORT_ARG = "--startup-report", TRAINING_RUN_ARG = "--training-run";
     private BorderPane root;
     private Stage stage;
     private Scene scene;
@@ -44,11 +47,16 @@ public class MainApp extends Application {
     private GridPane tablePane, fixturesPane;
     private RadioButton byPointsRadio;
     private RadioButton byPercentRadio;
+    private ChoiceBox<String> scenarioSelector;
+    private Button forkButton;
 
     //Instance Variables (data):
     private ArrayList<String> teams;
     private ArrayList<LocalDate> gameDates;
     private ArrayList<Game> games;
+    private Scenario realResults; //the real results, kept in step with games so forks can share them
+    private ArrayList<Scenario> scenarios; //hypothetical results, kept so they can be compared
+    private Scenario scenario; //the results being shown, realResults when no what-if is selected
 
     @Override
     public void start(Stage primaryStage) {
@@ -59,7 +67,7 @@ public class MainApp extends Application {
         stage.setTitle("Game Scheduler");  //text for the title bar of the window
         stage.setMinWidth(WINDOW_MIN_WIDTH);
         stage.setMinHeight(WINDOW_MIN_HEIGHT);
-        stage.setOnCloseRequest(e -> closeApplication());
+        stage.setOnCloseRequest(e -> closeApplication(0));
 
         //Initializations (UI):
         teamsVBox = new VBox();
@@ -77,14 +85,15 @@ public class MainApp extends Application {
         saveScheduleButton = new Button("Save");
         byPointsRadio = new RadioButton("By Points");
         byPercentRadio = new RadioButton("By Percent");
+        scenarioSelector = new ChoiceBox<>();
+        forkButton = new Button("What If");
 
         //Initializations (data):
         teams = new ArrayList<>();
         gameDates = new ArrayList<>();
+        scenarios = new ArrayList<>();
 
-        //Fonts and styles:
-        Font.loadFont(MainApp.class.getResource("LuckiestGuy.ttf").toExternalForm(), 10);
-        Font.loadFont(MainApp.class.getResource("LilitaOne-Regular.ttf").toExternalForm(), 10);
+        //Styles (fonts and the background image are loaded after the window is shown):
         teamsVBox.setId("teams");
         datesVBox.setId("dates");
         scene.getStylesheets().add("styles.css");
@@ -93,6 +102,8 @@ public class MainApp extends Application {
         byPointsRadio.setToggleGroup(new ToggleGroup());
         byPercentRadio.setToggleGroup(byPointsRadio.getToggleGroup());
         byPointsRadio.setSelected(true);
+        scenarioSelector.getItems().add("Real Results");
+        scenarioSelector.getSelectionModel().select(0);
 
         //Screen layout:
         root.setTop(new VBox(new HBox(new Text("Game Scheduler")), new HBox(messageLabel)));
@@ -108,14 +119,70 @@ public class MainApp extends Application {
         });
         loadButton.setOnAction(e -> loadSavedSchedule());
         scheduleButton.setOnAction(e -> checkTeamsDates());
+        forkButton.setOnAction(e -> forkScenario());
+        scenarioSelector.getSelectionModel().selectedIndexProperty().addListener((observable, oldValue, newValue) -> scenarioSelected());
 
         stage.show();
+        long shownMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        loadAssets(shownMs);
     }
 
-    private void closeApplication() {
+    /*
+    Load the fonts and background image on a background thread so the window can appear
+    before they are ready, then swap them in.
+     */
+    private void loadAssets(long shownMs) {
+        List<String> args = getParameters().getRaw();
+        boolean trainingRun = args.contains(TRAINING_RUN_ARG);
+        boolean report = trainingRun || args.contains(STARTUP_REPORT_ARG);
+
+        Task<Image> task = new Task<Image>() {
+            @Override
+            protected Image call() throws Exception {
+                Font.loadFont(MainApp.class.getResource("LuckiestGuy.ttf").toExternalForm(), 10);
+                Font.loadFont(MainApp.class.getResource("LilitaOne-Regular.ttf").toExternalForm(), 10);
+                return new Image(MainApp.class.getResource("background2.jpg").toExternalForm());
+            }
+        };
+        task.setOnSucceeded(e -> {
+            root.setBackground(new Background(new BackgroundImage(task.getValue(), BackgroundRepeat.REPEAT,
+                    BackgroundRepeat.REPEAT, BackgroundPosition.DEFAULT, BackgroundSize.DEFAULT)));
+
+            //re-apply the stylesheet so the newly loaded font families are picked up
+            //(root.applyCss() alone keeps the fallback fonts cached from the first pass)
+            long cssStart = System.nanoTime();
+            scene.getStylesheets().remove("styles.css");
+            scene.getStylesheets().add("styles.css");
+            scene.getRoot().applyCss();
+            long cssMs = (System.nanoTime() - cssStart) / 1000000;
+
+            if (report) {
+                System.out.println("Startup: window shown after " + shownMs + " ms, assets loaded after " +
+                        ManagementFactory.getRuntimeMXBean().getUptime() + " ms (styles re-applied in " + cssMs + " ms)");
+            }
+            if (trainingRun) {
+                closeApplication(0);
+            }
+        });
+        task.setOnFailed(e -> {
+            System.err.println("Error Loading Fonts and Images: " + task.getException());
+            showMessage("Error Loading Fonts and Images");
+
+            //a failed training run must not leave a usable archive behind
+            if (trainingRun) {
+                closeApplication(1);
+            }
+        });
+
+        Thread th = new Thread(task);
+        th.setDaemon(true);
+        th.start();
+    }
+
+    private void closeApplication(int status) {
         stage.close();
         Platform.exit();
-        System.exit(0);
+        System.exit(status);
     }
 
     private void loadSavedSchedule() {
@@ -365,9 +432,11 @@ public class MainApp extends Application {
             dateSelector.getItems().add(date.format(DateTimeFormatter.ofPattern("E, MMM d, u")));
         }
 
+        realResults = Scenario.of(games);
+        scenario = realResults;
         displayLeagueTable();
 
-        root.setCenter(new HBox(new VBox(dateSelector, fixturesPane), new VBox(tablePane)));
+        root.setCenter(new HBox(new VBox(new HBox(dateSelector, scenarioSelector, forkButton), fixturesPane), new VBox(tablePane)));
 
         dateSelector.getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
             displayFixtures(gameDates.get(dateSelector.getSelectionModel().getSelectedIndex()));
@@ -386,7 +455,7 @@ public class MainApp extends Application {
             Game game = games.get(i);
 
             if (game.isScheduled() && game.getDate().equals(date)) {
-                fixturesPane.addRow(i, new HBox(new Label(game.getHomeTeam())), new HBox(new Label(game.isPlayed() ? game.getHomeScore() + " - " + game.getAwayScore() : "vs")), new HBox(new Label(game.getAwayTeam())));
+                fixturesPane.addRow(i, new HBox(new Label(game.getHomeTeam())), new HBox(new Label(getResultText(i))), new HBox(new Label(game.getAwayTeam())));
                 
                 final int gameIndex = i;
 
@@ -396,17 +465,49 @@ public class MainApp extends Application {
                 fixturesPane.getChildren().get(fixturesPane.getChildren().size() - 2).setStyle("-fx-cursor: hand");
                 fixturesPane.getChildren().get(fixturesPane.getChildren().size() - 1).setStyle("-fx-max-width: 150");
                 fixturesPane.getChildren().get(fixturesPane.getChildren().size() - 1).setStyle("-fx-alignment: center-left");
-                fixturesPane.getChildren().get(fixturesPane.getChildren().size() - 2).setOnMouseClicked(e -> inputResult(games.get(gameIndex)));
+                fixturesPane.getChildren().get(fixturesPane.getChildren().size() - 2).setOnMouseClicked(e -> inputResult(gameIndex));
             }
         }
     }
 
-    private void inputResult(Game game) {
+    private String getResultText(int gameIndex) {
+        return scenario.isPlayed(gameIndex) ? scenario.getHomeScore(gameIndex) + " - " + scenario.getAwayScore(gameIndex) : "vs";
+    }
+
+    /*
+    Fork a new scenario of hypothetical results from the one being shown (or from the real results).
+    Scenarios are immutable, so the fork starts out sharing everything with the one it came from,
+    which is kept unchanged so the two can be compared.
+     */
+    private void forkScenario() {
+        scenarios.add(scenario);
+        scenarioSelector.getItems().add("What If " + scenarios.size());
+        scenarioSelector.getSelectionModel().select(scenarios.size());
+    }
+
+    private void scenarioSelected() {
+        int index = scenarioSelector.getSelectionModel().getSelectedIndex();
+        scenario = index <= 0 ? realResults : scenarios.get(index - 1);
+
+        displayLeagueTable();
+        displayFixtures(gameDates.get(dateSelector.getSelectionModel().getSelectedIndex()));
+
+        //shown after the fixtures, which replace the message with the date
+        if (index > 0)
+            showMessage(scenarioSelector.getValue() + ": Results Entered Will Not Be Saved");
+        else
+            showMessage("Showing Real Results");
+    }
+
+    private void inputResult(int gameIndex) {
+        Game game = games.get(gameIndex);
         StackPane stackPane = (StackPane)root.getParent();
         Rectangle r = new Rectangle(scene.getWidth(), scene.getHeight());
         r.setFill(Color.BLACK);
         r.setOpacity(0.5);
         dateSelector.setDisable(true);
+        scenarioSelector.setDisable(true);
+        forkButton.setDisable(true);
         
         GridPane gp = new GridPane();
         TextField homeField = new TextField();
@@ -436,9 +537,7 @@ public class MainApp extends Application {
 
                 awayField.requestFocus();
             } else if (e.getCode().getName().equals("Esc")) {
-                stackPane.getChildren().remove(stackPane.getChildren().size()-1);
-                stackPane.getChildren().remove(stackPane.getChildren().size()-1);
-                dateSelector.setDisable(false);
+                closeResultInput();
             }
         });
 
@@ -453,31 +552,33 @@ public class MainApp extends Application {
                     awayField.setText("0");
                 }
 
-                saveResult(game, homeField.getText(), awayField.getText());
+                saveResult(gameIndex, homeField.getText(), awayField.getText());
             } else if (e.getCode().getName().equals("Esc")) {
-                stackPane.getChildren().remove(stackPane.getChildren().size()-1);
-                stackPane.getChildren().remove(stackPane.getChildren().size()-1);
-                dateSelector.setDisable(false);
+                closeResultInput();
             }
         });
         
-        saveButton.setOnAction(e -> saveResult(game, homeField.getText(), awayField.getText()));
+        saveButton.setOnAction(e -> saveResult(gameIndex, homeField.getText(), awayField.getText()));
         
-        cancelButton.setOnAction(e -> {
-            stackPane.getChildren().remove(stackPane.getChildren().size()-1);
-            stackPane.getChildren().remove(stackPane.getChildren().size()-1);
-            dateSelector.setDisable(false);
-        });
+        cancelButton.setOnAction(e -> closeResultInput());
 
         stackPane.getChildren().addAll(r, new HBox(vBox));
     }
 
-    private void saveResult(Game game, String home, String away) {
+    private void saveResult(int gameIndex, String home, String away) {
         try {
             int h = Integer.parseInt(home);
             int a = Integer.parseInt(away);
             
-            game.setScore(h, a);
+            int selected = scenarioSelector.getSelectionModel().getSelectedIndex();
+            scenario = scenario.withResult(gameIndex, h, a);
+
+            if (selected > 0) {
+                scenarios.set(selected - 1, scenario);
+            } else {
+                realResults = scenario;
+                games.get(gameIndex).setScore(h, a);
+            }
 
             displayLeagueTable();
             displayFixtures(gameDates.get(dateSelector.getSelectionModel().getSelectedIndex()));
@@ -485,10 +586,16 @@ public class MainApp extends Application {
         } catch (NumberFormatException e) {
             showMessage("Invalid Result");
         }
+        closeResultInput();
+    }
+
+    private void closeResultInput() {
         StackPane stackPane = (StackPane)root.getParent();
         stackPane.getChildren().remove(stackPane.getChildren().size()-1);
         stackPane.getChildren().remove(stackPane.getChildren().size()-1);
         dateSelector.setDisable(false);
+        scenarioSelector.setDisable(false);
+        forkButton.setDisable(false);
     }
 
 
@@ -523,14 +630,7 @@ public class MainApp extends Application {
 
     /* calculate how many games a team have won  */
     private int getTeamWins(String team) {
-        int wins = 0;
-
-        for (Game game : games) {
-            if (game.hasWinner() && game.getWinner().equals(team))
-                wins++;
-        }
-
-        return wins;
+        return scenario.getWins(team);
     }
 
     /* calculate how many games a team have tied/drawn  */
@@ -540,38 +640,17 @@ public class MainApp extends Application {
     
     /* calculate how many games a team have tied/drawn  */
     private int getTeamTies(String team) {
-        int c = 0;
-
-        for (Game game : games) {
-            if (game.isDraw() && game.involves(team))
-                c++;
-        }
-
-        return c;
+        return scenario.getDraws(team);
     }
 
     /* calculate how many games a team have lost  */
     private int getTeamLosses(String team) {
-        int c = 0;
-
-        for (Game game : games) {
-            if (game.hasWinner() && game.involves(team) && !game.getWinner().equals(team))
-                c++;
-        }
-
-        return c;
+        return scenario.getLosses(team);
     }
 
     /* calculate how many games a team have played  */
     private int getTeamPlayed(String team) {
-        int p = 0;
-
-        for (Game game : games) {
-            if (game.isPlayed() && (game.getHomeTeam().equals(team) || game.getAwayTeam().equals(team)))
-                p++;
-        }
-
-        return p;
+        return scenario.getPlayed(team);
     }
 
     /* calculate the points of a team  */
@@ -0,0 +1,200 @@
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * An immutable snapshot of the results of a schedule, used to try out hypothetical results
+ * without changing the real games.
+ * Results and standings are both kept in persistent tries, so setting a result returns a new scenario
+ * that only copies the path to the changed game and the paths to the records of its two teams.
+ * Forking a scenario is free and each change costs O(log games + log teams); every other part of the
+ * snapshot is shared with the scenario it was forked from.
+ */
+public class Scenario {
+    private static final int BITS = 5, WIDTH = 1 << BITS, MASK = WIDTH - 1;
+    private static final int PLAYED = 0, WINS = 1, DRAWS = 2, LOSSES = 3;
+
+    //shared by every scenario forked from the same schedule
+    private final int[] homeTeams, awayTeams;
+    private final HashMap<String, Integer> teamIndexes;
+    private final int resultsShift, standingsShift;
+
+    //leaves hold {homeScore, awayScore}, or null for an unplayed game
+    private final Object[] results;
+    //leaves hold {played, wins, draws, losses} for each team index
+    private final Object[] standings;
+
+    private Scenario(Scenario base, Object[] results, Object[] standings) {
+        this.homeTeams = base.homeTeams;
+        this.awayTeams = base.awayTeams;
+        this.teamIndexes = base.teamIndexes;
+        this.resultsShift = base.resultsShift;
+        this.standingsShift = base.standingsShift;
+        this.results = results;
+        this.standings = standings;
+    }
+
+    private Scenario(List<Game> games) {
+        homeTeams = new int[games.size()];
+        awayTeams = new int[games.size()];
+        teamIndexes = new HashMap<>();
+
+        for (int i = 0; i < games.size(); i++) {
+            homeTeams[i] = indexOf(games.get(i).getHomeTeam());
+            awayTeams[i] = indexOf(games.get(i).getAwayTeam());
+        }
+
+        Object[] scores = new Object[games.size()];
+        int[][] records = new int[teamIndexes.size()][4];
+
+        for (int i = 0; i < games.size(); i++) {
+            Game game = games.get(i);
+
+            if (game.isPlayed()) {
+                int[] score = {game.getHomeScore(), game.getAwayScore()};
+                scores[i] = score;
+                count(records[homeTeams[i]], records[awayTeams[i]], score, 1);
+            }
+        }
+
+        resultsShift = shiftFor(scores.length);
+        standingsShift = shiftFor(records.length);
+        results = build(scores, resultsShift, 0);
+        standings = build(records, standingsShift, 0);
+    }
+
+    /* create the base scenario from the current results of the games */
+    public static Scenario of(List<Game> games) {
+        return new Scenario(games);
+    }
+
+    /* return a new scenario where the game at the given index has the given result */
+    public Scenario withResult(int gameIndex, int homeScore, int awayScore) {
+        if (gameIndex < 0 || gameIndex >= homeTeams.length)
+            throw new IndexOutOfBoundsException("Game " + gameIndex + " is not in the schedule");
+
+        int home = homeTeams[gameIndex];
+        int away = awayTeams[gameIndex];
+        int[] score = {homeScore, awayScore};
+        int[] old = (int[]) get(results, resultsShift, gameIndex);
+        int[] homeRecord = ((int[]) get(standings, standingsShift, home)).clone();
+        int[] awayRecord = ((int[]) get(standings, standingsShift, away)).clone();
+
+        if (old != null)
+            count(homeRecord, awayRecord, old, -1);
+        count(homeRecord, awayRecord, score, 1);
+
+        Object[] newStandings = set(standings, standingsShift, home, homeRecord);
+        newStandings = set(newStandings, standingsShift, away, awayRecord);
+
+        return new Scenario(this, set(results, resultsShift, gameIndex, score), newStandings);
+    }
+
+    public boolean isPlayed(int gameIndex) {
+        return get(results, resultsShift, gameIndex) != null;
+    }
+
+    public int getHomeScore(int gameIndex) {
+        return isPlayed(gameIndex) ? ((int[]) get(results, resultsShift, gameIndex))[0] : 0;
+    }
+
+    public int getAwayScore(int gameIndex) {
+        return isPlayed(gameIndex) ? ((int[]) get(results, resultsShift, gameIndex))[1] : 0;
+    }
+
+    public int getPlayed(String team) {
+        return getStat(team, PLAYED);
+    }
+
+    public int getWins(String team) {
+        return getStat(team, WINS);
+    }
+
+    public int getDraws(String team) {
+        return getStat(team, DRAWS);
+    }
+
+    public int getLosses(String team) {
+        return getStat(team, LOSSES);
+    }
+
+    private int getStat(String team, int stat) {
+        Integer index = teamIndexes.get(team);
+        return index == null ? 0 : ((int[]) get(standings, standingsShift, index))[stat];
+    }
+
+    private int indexOf(String team) {
+        Integer index = teamIndexes.get(team);
+
+        if (index == null) {
+            index = teamIndexes.size();
+            teamIndexes.put(team, index);
+        }
+
+        return index;
+    }
+
+    /* the level of the root node of a trie holding the given number of values */
+    private static int shiftFor(int size) {
+        int shift = 0;
+
+        while (((long) WIDTH << shift) < size) {
+            shift += BITS;
+        }
+
+        return shift;
+    }
+
+    /* fill a trie directly from the values, without copying any paths */
+    private static Object[] build(Object[] values, int level, int offset) {
+        Object[] node = new Object[WIDTH];
+
+        for (int i = 0; i < WIDTH; i++) {
+            int start = offset + (i << level);
+
+            if (start >= values.length)
+                break;
+
+            node[i] = level == 0 ? values[start] : build(values, level - BITS, start);
+        }
+
+        return node;
+    }
+
+    private static Object get(Object[] node, int shift, int index) {
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+
+        return node[index & MASK];
+    }
+
+    /* copy the path to the index, the rest of the trie is shared with the original */
+    private static Object[] set(Object[] node, int level, int index, Object value) {
+        Object[] copy = node.clone();
+        int i = (index >>> level) & MASK;
+
+        if (level == 0)
+            copy[i] = value;
+        else
+            copy[i] = set((Object[]) copy[i], level - BITS, index, value);
+
+        return copy;
+    }
+
+    /* add (sign 1) or remove (sign -1) a result from the records of both teams */
+    private static void count(int[] homeRecord, int[] awayRecord, int[] score, int sign) {
+        homeRecord[PLAYED] += sign;
+        awayRecord[PLAYED] += sign;
+
+        if (score[0] > score[1]) {
+            homeRecord[WINS] += sign;
+            awayRecord[LOSSES] += sign;
+        } else if (score[0] < score[1]) {
+            awayRecord[WINS] += sign;
+            homeRecord[LOSSES] += sign;
+        } else {
+            homeRecord[DRAWS] += sign;
+            awayRecord[DRAWS] += sign;
+        }
+    }
+}
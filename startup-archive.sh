@@ -0,0 +1,40 @@
+#!/bin/sh
+# Builds the class-data-sharing archive used for faster cold starts and reports startup time.
+#
+# Usage: PATH_TO_FX=/path/to/javafx-sdk/lib ./startup-archive.sh
+# Extra JVM options for every run (e.g. for a headless machine) can be given in JAVA_OPTS.
+#
+# The training run shows the window, waits for the fonts and background image to load and then
+# exits, dumping every class it loaded into app.jsa. Start the application with the archive using:
+#   java -XX:SharedArchiveFile=app.jsa --module-path "$PATH_TO_FX" --add-modules javafx.controls -cp app.jar MainApp
+#
+# CDS only archives classes loaded from jar files, so the classes and resources are packaged into app.jar.
+
+set -e
+
+if [ -z "$PATH_TO_FX" ]; then
+    echo "PATH_TO_FX must point to the lib directory of the JavaFX SDK" >&2
+    exit 1
+fi
+
+FX="--module-path $PATH_TO_FX --add-modules javafx.controls"
+
+rm -rf out
+mkdir out
+javac $FX -d out src/*.java
+cp src/*.ttf src/*.jpg src/*.css out/
+jar cf app.jar -C out .
+
+echo "Training run:"
+rm -f app.jsa
+java -XX:ArchiveClassesAtExit=app.jsa $FX $JAVA_OPTS -cp app.jar MainApp --training-run || {
+    echo "Training run failed, no archive created" >&2
+    rm -f app.jsa
+    exit 1
+}
+
+echo "Without archive:"
+java -Xshare:auto $FX $JAVA_OPTS -cp app.jar MainApp --training-run
+
+echo "With archive:"
+java -XX:SharedArchiveFile=app.jsa $FX $JAVA_OPTS -cp app.jar MainApp --training-run
@@ -0,0 +1,105 @@
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Checks Scenario against standings recalculated from scratch after random hypothetical results,
+ * including schedules on either side of the trie's node boundaries.
+ * Run with: javac -d out src/Game.java src/Scenario.java test/ScenarioTest.java && java -cp out ScenarioTest
+ */
+public class ScenarioTest {
+    private static final int TEAMS = 12, EDITS = 300;
+
+    public static void main(String[] args) {
+        Random random = new Random(26);
+
+        for (int size : new int[]{0, 1, 31, 32, 33, 1023, 1024, 1025, 5000}) {
+            ArrayList<Game> games = new ArrayList<>();
+
+            for (int i = 0; i < size; i++) {
+                Game game = new Game("TEAM " + random.nextInt(TEAMS), "TEAM " + (TEAMS + random.nextInt(TEAMS)));
+                if (random.nextBoolean())
+                    game.setScore(random.nextInt(4), random.nextInt(4));
+                games.add(game);
+            }
+
+            Scenario base = Scenario.of(games);
+            checkSame(base, games);
+
+            if (size == 0)
+                continue;
+
+            ArrayList<Game> expected = copy(games);
+            Scenario scenario = base;
+            Scenario fork = null;
+            ArrayList<Game> forkExpected = null;
+
+            for (int i = 0; i < EDITS; i++) {
+                int index = random.nextInt(size);
+                int home = random.nextInt(4), away = random.nextInt(4);
+
+                scenario = scenario.withResult(index, home, away);
+                expected.get(index).setScore(home, away);
+
+                if (i == EDITS / 2) {
+                    fork = scenario;
+                    forkExpected = copy(expected);
+                }
+            }
+
+            checkSame(scenario, expected);
+            checkSame(fork, forkExpected);
+            checkSame(base, games);
+        }
+
+        System.out.println("ScenarioTest passed");
+    }
+
+    private static ArrayList<Game> copy(ArrayList<Game> games) {
+        ArrayList<Game> copy = new ArrayList<>();
+
+        for (Game game : games) {
+            Game g = new Game(game.getHomeTeam(), game.getAwayTeam());
+            if (game.isPlayed())
+                g.setScore(game.getHomeScore(), game.getAwayScore());
+            copy.add(g);
+        }
+
+        return copy;
+    }
+
+    private static void checkSame(Scenario scenario, ArrayList<Game> games) {
+        for (int i = 0; i < games.size(); i++) {
+            Game game = games.get(i);
+            check(scenario.isPlayed(i) == game.isPlayed(), "played " + i);
+            check(scenario.getHomeScore(i) == (game.isPlayed() ? game.getHomeScore() : 0), "home score " + i);
+            check(scenario.getAwayScore(i) == (game.isPlayed() ? game.getAwayScore() : 0), "away score " + i);
+        }
+
+        for (int t = 0; t < 2 * TEAMS + 1; t++) {
+            String team = "TEAM " + t;
+            int played = 0, wins = 0, draws = 0, losses = 0;
+
+            for (Game game : games) {
+                if (game.isPlayed() && game.involves(team)) {
+                    played++;
+                    if (game.isDraw())
+                        draws++;
+                    else if (game.getWinner().equals(team))
+                        wins++;
+                    else
+                        losses++;
+                }
+            }
+
+            check(scenario.getPlayed(team) == played, "played " + team);
+            check(scenario.getWins(team) == wins, "wins " + team);
+            check(scenario.getDraws(team) == draws, "draws " + team);
+            check(scenario.getLosses(team) == losses, "losses " + team);
+        }
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition)
+            throw new AssertionError("Scenario differs from recalculated results: " + what);
+    }
+}